@@ -4,6 +4,8 @@ import com.sensorsdata.analytics.javasdk.SensorsAnalyticsAPI;
 import com.sensorsdata.analytics.javasdk.annotation.*;
 import com.sensorsdata.analytics.javasdk.processor.exceptions.InvalidSizeException;
 import com.sensorsdata.analytics.javasdk.processor.exceptions.UnqualifiedMethodException;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ImportTree;
 import com.sun.tools.javac.api.JavacTrees;
 import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import com.sun.tools.javac.code.Symbol.VarSymbol;
@@ -12,9 +14,11 @@ import com.sun.tools.javac.code.TypeTag;
 import com.sun.tools.javac.processing.JavacProcessingEnvironment;
 import com.sun.tools.javac.tree.JCTree.*;
 import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.tree.TreeScanner;
 import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.List;
 import com.sun.tools.javac.util.ListBuffer;
+import com.sun.tools.javac.util.Name;
 import com.sun.tools.javac.util.Names;
 import org.apache.http.util.TextUtils;
 
@@ -22,18 +26,54 @@ import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
 import javax.tools.Diagnostic;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 public class JavaSDKProcessor extends AbstractProcessor {
+    // 基本数据类型数组的类型名
+    private static final Set<String> PRIMITIVE_ARRAYS = new HashSet<>(Arrays.asList(
+            "int[]", "short[]", "long[]", "float[]", "double[]", "boolean[]", "char[]", "byte[]"));
+    /**
+     * 编译参数：为 true 时，@Property 中以 {@link #LAZY_VALUE_PREFIX} 开头的引用表达式包装成 SDK 的 LazyProperty，
+     * 由 SDK 在序列化事件时再求值，事件被过滤或丢弃时不会求值。使用方式：javac -Asensorsdata.lazyProperties=true
+     * <p>
+     * 延迟求值需要在每个表达式上单独声明，例如 value = "@lazy:Utils.getValue(param)"；普通 @ 开头的表达式始终立即求值，
+     * 因此开启此参数不会改变已有属性的取值。未开启此参数时，@lazy: 开头的表达式与 @ 开头的表达式一样立即求值。
+     * <p>
+     * 延迟求值的语义与立即求值不同，需要注意：
+     * 1. 只有调用者能解析为类的静态方法调用会延迟求值，且参数只能是未被重新赋值的方法入参或同样满足条件的静态方法调用；
+     *    调用入参、成员变量、静态成员变量（例如单例）、this 上方法的表达式仍然立即求值，因为它们读取的对象状态在方法执行过程中可能被修改
+     * 2. 作为参数传入的入参对象如果在方法执行后被修改，静态方法在序列化时读取到的是修改后的状态
+     * 3. 表达式在 SDK 序列化事件的线程上执行，不要对依赖当前线程状态（例如 ThreadLocal）或当前时间的表达式使用 @lazy:
+     * 4. 表达式抛出的异常会被捕获并打印堆栈，该属性值按 null 处理
+     * 5. distinctId、itemType、itemId、anonymousId 仍然立即求值，因为 SDK 的对应参数是 String 类型
+     * <p>
+     * 需要 -source 8 及以上，且 SDK 提供 {@link #LAZY_PROPERTY_TYPE} 函数式接口并在序列化时解析它，否则编译报错
+     */
+    private static final String LAZY_PROPERTIES_OPTION = "sensorsdata.lazyProperties";
+    // SDK 中用于延迟求值属性的函数式接口，抽象方法无入参且返回引用类型
+    private static final String LAZY_PROPERTY_TYPE = "com.sensorsdata.analytics.javasdk.LazyProperty";
+    // @Property 的 value 以此开头时，表示该引用表达式需要延迟求值
+    private static final String LAZY_VALUE_PREFIX = "@lazy:";
+
     // 打印 log
     private Messager messager;
     // 抽象语法树
@@ -42,6 +82,69 @@ public class JavaSDKProcessor extends AbstractProcessor {
     private TreeMaker treeMaker;
     // 提供了创建标识符的一些方法
     private Names names;
+    // 是否延迟求值 @Property 中的引用表达式
+    private boolean lazyProperties;
+
+    private JCExpression loginId;
+
+    // 编译期间频繁使用的 Name，在 init 时统一生成，避免每次插码都去 Names 表中查找
+    private Name putName;
+    private Name className;
+    private Name flushName;
+    private Name getMethodName;
+    private Name getAnnotationName;
+    private Name printStackTraceName;
+    private Name trackName;
+    private Name profileSetName;
+    private Name profileSetOnceName;
+    private Name profileAppendName;
+    private Name profileIncrementName;
+    private Name itemSetName;
+    private Name itemDeleteName;
+    private Name trackSignUpName;
+    // 插入代码中用到的临时变量名
+    private Name exceptionVarName;
+    private Name thisMethodVarName;
+    private Name initSDKAnnotationVarName;
+    private Name trackPropertiesVarName;
+    private Name profilePropertiesVarName;
+    private Name itemPropertiesVarName;
+    // 已解析过的链式调用，key 为形如 java.util.HashMap 的字符串，value 为拆分后的 Name 数组
+    private final Map<String, Name[]> selectChains = new HashMap<>();
+    // 最常用的几条链式调用
+    private Name[] sharedInstanceChain;
+    private Name[] startWithAnnotationChain;
+    private Name[] initSDKChain;
+    private Name[] methodChain;
+    private Name[] mapChain;
+    private Name[] hashMapChain;
+    private Name[] bigDecimalChain;
+    private Name[] exceptionChain;
+    private Name[] lazyPropertyChain;
+    private Name lazyExceptionVarName;
+    // 延迟求值时每个方法只分析一次，每轮处理开始时清空
+    private final Map<MethodSymbol, LazyScope> lazyScopes = new HashMap<>();
+
+    /**
+     * 处理某一种埋点注解，返回需要插入到被修饰方法头部的语句
+     */
+    private interface AnnotationHandler {
+        List<JCStatement> process(MethodSymbol method);
+    }
+
+    /**
+     * 延迟求值时对注解修饰方法的分析结果
+     */
+    private static final class LazyScope {
+        // 未被重新赋值的入参，可以被 lambda 捕获
+        final Set<Name> capturableParams = new HashSet<>();
+        // 指向对象实例的标识符：所有入参、所在类的成员变量、this、super
+        final Set<Name> instanceRoots = new HashSet<>();
+        // 单类型导入的类，key 为简单类名，value 为全限定名
+        final Map<String, String> importedTypes = new HashMap<>();
+        // 查找类时依次尝试的前缀：所在类以及外部类、所在包、按需导入的包或类、java.lang，空字符串表示全限定名
+        final java.util.List<String> typeScopes = new ArrayList<>();
+    }
 
     @Override
     public void init(ProcessingEnvironment processingEnv) {
@@ -51,16 +154,76 @@ public class JavaSDKProcessor extends AbstractProcessor {
         Context context = ((JavacProcessingEnvironment) processingEnv).getContext();
         this.treeMaker = TreeMaker.instance(context);
         this.names = Names.instance(context);
+        this.putName = names.fromString("put");
+        this.className = names.fromString("class");
+        this.flushName = names.fromString("flush");
+        this.getMethodName = names.fromString("getMethod");
+        this.getAnnotationName = names.fromString("getAnnotation");
+        this.printStackTraceName = names.fromString("printStackTrace");
+        this.trackName = names.fromString("track");
+        this.profileSetName = names.fromString("profileSet");
+        this.profileSetOnceName = names.fromString("profileSetOnce");
+        this.profileAppendName = names.fromString("profileAppend");
+        this.profileIncrementName = names.fromString("profileIncrement");
+        this.itemSetName = names.fromString("itemSet");
+        this.itemDeleteName = names.fromString("itemDelete");
+        this.trackSignUpName = names.fromString("trackSignUp");
+        this.exceptionVarName = names.fromString("e");
+        this.thisMethodVarName = names.fromString("thisMethod_SensorsAnalyticsSDK");
+        this.initSDKAnnotationVarName = names.fromString("initSDKAnnotation_SensorsAnalyticsSDK");
+        this.trackPropertiesVarName = names.fromString("track_properties_SensorsAnalyticsSDK");
+        this.profilePropertiesVarName = names.fromString("profile_properties_SensorsAnalyticsSDK");
+        this.itemPropertiesVarName = names.fromString("item_properties_SensorsAnalyticsSDK");
+        this.sharedInstanceChain = internSelectChain(SensorsAnalyticsAPI.class.getCanonicalName() + ".sharedInstance");
+        this.startWithAnnotationChain = internSelectChain(SensorsAnalyticsAPI.class.getCanonicalName() + ".startWithAnnotation");
+        this.initSDKChain = internSelectChain(InitSensorsAnalytics.class.getCanonicalName());
+        this.methodChain = internSelectChain("java.lang.reflect.Method");
+        this.mapChain = internSelectChain("java.util.Map");
+        this.hashMapChain = internSelectChain("java.util.HashMap");
+        this.bigDecimalChain = internSelectChain("java.math.BigDecimal");
+        this.exceptionChain = internSelectChain("java.lang.Exception");
+        this.lazyPropertyChain = internSelectChain(LAZY_PROPERTY_TYPE);
+        this.lazyExceptionVarName = names.fromString("e_SensorsAnalyticsSDK");
+        this.lazyProperties = Boolean.parseBoolean(processingEnv.getOptions().get(LAZY_PROPERTIES_OPTION));
+        if (lazyProperties && processingEnv.getSourceVersion().compareTo(SourceVersion.RELEASE_8) < 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "编译参数 " + LAZY_PROPERTIES_OPTION + "=true 需要 lambda 表达式支持，当前 -source 为 "
+                    + processingEnv.getSourceVersion() + "，请使用 -source 8 及以上版本");
+            lazyProperties = false;
+        } else if (lazyProperties && !isLazyPropertySupported()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "编译参数 " + LAZY_PROPERTIES_OPTION + "=true 需要 SDK 提供函数式接口 "
+                    + LAZY_PROPERTY_TYPE + "（无入参且返回引用类型），当前 classpath 中的 SDK 不支持延迟求值属性");
+            lazyProperties = false;
+        }
     }
 
-    private JCExpression loginId;
+    /**
+     * 判断 SDK 是否支持延迟求值属性，即 classpath 中存在 LazyProperty 函数式接口
+     * @return SDK 是否支持延迟求值属性
+     */
+    private boolean isLazyPropertySupported() {
+        TypeElement lazyPropertyType = processingEnv.getElementUtils().getTypeElement(LAZY_PROPERTY_TYPE);
+        if (lazyPropertyType == null || lazyPropertyType.getKind() != ElementKind.INTERFACE) {
+            return false;
+        }
+        ExecutableElement abstractMethod = null;
+        for (Element member : processingEnv.getElementUtils().getAllMembers(lazyPropertyType)) {
+            if (member.getKind() == ElementKind.METHOD && member.getModifiers().contains(Modifier.ABSTRACT)
+                    && member.getEnclosingElement().getKind() == ElementKind.INTERFACE) {
+                if (abstractMethod != null) {
+                    return false;
+                }
+                abstractMethod = (ExecutableElement) member;
+            }
+        }
+        return abstractMethod != null && abstractMethod.getParameters().isEmpty()
+                && (abstractMethod.getReturnType().getKind() == TypeKind.DECLARED || abstractMethod.getReturnType().getKind() == TypeKind.TYPEVAR);
+    }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         if (!roundEnv.processingOver()) {
             try {
                 messager.printMessage(Diagnostic.Kind.NOTE, "神策 Java SDK 埋点注解开始处理");
-                loginId = buildLoginId(roundEnv);
                 processAllAnnotations(roundEnv);
                 messager.printMessage(Diagnostic.Kind.NOTE, "神策 Java SDK 埋点注解结束处理");
             } catch (Exception e) {
@@ -70,43 +233,73 @@ public class JavaSDKProcessor extends AbstractProcessor {
         return true;
     }
 
-    // 统一处理 @LoginIdFrom 以外的、所有需要插入代码的注解
-    private void processAllAnnotations(RoundEnvironment roundEnv) throws InvalidSizeException {
-        Set<? extends Element> initSDKElements = roundEnv.getElementsAnnotatedWith(InitSensorsAnalytics.class);
-        if(initSDKElements.size() > 1){
-            throw new InvalidSizeException("最多只能有 1 个方法用 @InitSensorsAnalytics 注解修饰，目前有 " + initSDKElements.size() + " 个。");
+    // 统一处理所有需要插入代码的注解
+    private void processAllAnnotations(RoundEnvironment roundEnv) throws InvalidSizeException, UnqualifiedMethodException {
+        lazyScopes.clear();
+        // 注解类型到处理逻辑的分发表；每一轮处理的符号表可能不同，因此每轮重新构建
+        Map<TypeElement, AnnotationHandler> handlers = new HashMap<>();
+        TypeElement initSDKType = putHandler(handlers, InitSensorsAnalytics.class, this::processInitSensorsAnalytics);
+        putHandler(handlers, Track.class, this::processTrack);
+        putHandler(handlers, Profile.class, this::processProfile);
+        putHandler(handlers, Item.class, this::processItem);
+        putHandler(handlers, TrackSignUp.class, this::processTrackSignUp);
+        TypeElement loginIdFromType = processingEnv.getElementUtils().getTypeElement(LoginIdFrom.class.getCanonicalName());
+
+        // 只遍历一次语法树，同时收集 @LoginIdFrom 修饰的方法以及其它埋点注解修饰的方法
+        // 为了保证同一个方法上注解的顺序与生成埋点代码的顺序一致，此处按方法汇总该方法上所有注解的处理逻辑
+        java.util.List<Element> loginIdFromElements = new ArrayList<>();
+        Map<Element, java.util.List<AnnotationHandler>> annotatedElements = new LinkedHashMap<>();
+        int initSDKCount = 0;
+        Deque<Element> pending = new ArrayDeque<>(roundEnv.getRootElements());
+        while (!pending.isEmpty()) {
+            Element element = pending.poll();
+            if (element.getKind().isClass() || element.getKind().isInterface()) {
+                pending.addAll(element.getEnclosedElements());
+            } else if (element.getKind() == ElementKind.METHOD || element.getKind() == ElementKind.CONSTRUCTOR) {
+                for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+                    Element annotationType = mirror.getAnnotationType().asElement();
+                    if (annotationType.equals(loginIdFromType)) {
+                        loginIdFromElements.add(element);
+                        continue;
+                    }
+                    AnnotationHandler handler = handlers.get(annotationType);
+                    if (handler == null) {
+                        continue;
+                    }
+                    if (annotationType.equals(initSDKType)) {
+                        initSDKCount++;
+                    }
+                    java.util.List<AnnotationHandler> elementHandlers = annotatedElements.get(element);
+                    if (elementHandlers == null) {
+                        elementHandlers = new ArrayList<>();
+                        annotatedElements.put(element, elementHandlers);
+                    }
+                    elementHandlers.add(handler);
+                }
+            }
+        }
+
+        loginId = buildLoginId(loginIdFromElements);
+
+        if(initSDKCount > 1){
+            throw new InvalidSizeException("最多只能有 1 个方法用 @InitSensorsAnalytics 注解修饰，目前有 " + initSDKCount + " 个。");
         }
-        if (initSDKElements.size() == 0) {
+        if (initSDKCount == 0) {
             messager.printMessage(Diagnostic.Kind.WARNING, "@InitSensorsAnalytics 注解没有被使用");
         }
 
-        Set<Element> allElements = new HashSet<>(initSDKElements);
-        allElements.addAll(roundEnv.getElementsAnnotatedWith(Track.class));
-        allElements.addAll(roundEnv.getElementsAnnotatedWith(Profile.class));
-        allElements.addAll(roundEnv.getElementsAnnotatedWith(Item.class));
-        allElements.addAll(roundEnv.getElementsAnnotatedWith(TrackSignUp.class));
-        // 为了保证同一个方法上注解的顺序与生成埋点代码的顺序一致，此处将所有神策注解的方法汇总处理
-        for (Element element : allElements) {
-            java.util.List<? extends AnnotationMirror> annotationMirrors = element.getAnnotationMirrors();
+        for (Map.Entry<Element, java.util.List<AnnotationHandler>> entry : annotatedElements.entrySet()) {
+            MethodSymbol method = (MethodSymbol) entry.getKey();
+            JCMethodDecl tree = trees.getTree(method);
+            // 插入的节点使用被修饰方法的位置，否则会沿用 parser 最后解析的位置，
+            // 该位置可能在类定义之前，导致 javac 数据流分析无法跟踪插入的局部变量（例如 catch 中的 e）
+            treeMaker.at(tree.pos);
             ListBuffer<JCStatement> statements = new ListBuffer<>();
-            for (AnnotationMirror mirror : annotationMirrors) {
-                if (Track.class.getCanonicalName().equals(mirror.getAnnotationType().toString())) {
-                    statements.appendList(processTrack((MethodSymbol) element));
-                } else if (Profile.class.getCanonicalName().equals(mirror.getAnnotationType().toString())) {
-                    statements.appendList(processProfile((MethodSymbol) element));
-                } else if (TrackSignUp.class.getCanonicalName().equals(mirror.getAnnotationType().toString())) {
-                    statements.appendList(processTrackSignUp((MethodSymbol) element));
-                } else if (Item.class.getCanonicalName().equals(mirror.getAnnotationType().toString())) {
-                    statements.appendList(processItem((MethodSymbol) element));
-                } else if (InitSensorsAnalytics.class.getCanonicalName().equals(mirror.getAnnotationType().toString())) {
-                    statements.appendList(processInitSensorsAnalytics((MethodSymbol) element));
-                } else {
-                    // doNothing
-                }
+            for (AnnotationHandler handler : entry.getValue()) {
+                statements.appendList(handler.process(method));
             }
 
             // 将同一个方法上所有埋点注解生成的代码汇成一个代码块，加上 try catch 语句后添加到原方法头
-            JCMethodDecl tree = trees.getTree((MethodSymbol) element);
             JCTry jcTry = buildCatchException(treeMaker.Block(0, statements.toList()));
             ListBuffer<JCStatement> jcStatements = new ListBuffer<>();
             jcStatements.append(jcTry);
@@ -115,13 +308,27 @@ public class JavaSDKProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * 将注解对应的处理逻辑放入分发表
+     * @param handlers 分发表
+     * @param annotationClass 注解类
+     * @param handler 注解的处理逻辑
+     * @return 注解在当前编译上下文中对应的 TypeElement，找不到时返回 null
+     */
+    private TypeElement putHandler(Map<TypeElement, AnnotationHandler> handlers, Class<? extends Annotation> annotationClass, AnnotationHandler handler) {
+        TypeElement annotationType = processingEnv.getElementUtils().getTypeElement(annotationClass.getCanonicalName());
+        if (annotationType != null) {
+            handlers.put(annotationType, handler);
+        }
+        return annotationType;
+    }
+
     /**
      * 处理 @LoginIdFrom 注解
-     * @param roundEnv 上下文
+     * @param loginIdFromElements 该注解修饰的方法
      * @return 该注解修饰方法对应的 JCExpression
      */
-    private JCExpression buildLoginId(RoundEnvironment roundEnv) throws InvalidSizeException, UnqualifiedMethodException {
-        Set<? extends Element> loginIdFromElements = roundEnv.getElementsAnnotatedWith(LoginIdFrom.class);
+    private JCExpression buildLoginId(java.util.List<Element> loginIdFromElements) throws InvalidSizeException, UnqualifiedMethodException {
         if(loginIdFromElements.size() > 1){
             throw new InvalidSizeException("最多只能有 1 个方法用 @LoginIdFrom 注解修饰，目前有 " + loginIdFromElements.size() + " 个。");
         }
@@ -129,22 +336,19 @@ public class JavaSDKProcessor extends AbstractProcessor {
             messager.printMessage(Diagnostic.Kind.WARNING, "@LoginIdFrom 注解没有被使用");
             return null;
         }else{
-            if(loginIdFromElements.iterator().hasNext()){
-                Element loginIdFromElement = loginIdFromElements.iterator().next();
-                Set<Modifier> modifiers = loginIdFromElement.getModifiers();
-                if (modifiers.contains(Modifier.PUBLIC) && modifiers.contains(Modifier.STATIC)) {
-                    MethodSymbol method = (MethodSymbol) loginIdFromElement;
-                    if (method.params != null && method.params.size() == 0 && "java.lang.String".equals(method.getReturnType().toString())) {
-                        return treeMaker.Exec(treeMaker.Apply(List.nil(), accessMember(method.owner.toString() + "." + method.name), List.nil())).expr;
-                    } else {
-                        throw new UnqualifiedMethodException("@LoginIdFrom 只能用于无入参且返回值为 java.lang.String 类型的方法");
-                    }
+            Element loginIdFromElement = loginIdFromElements.get(0);
+            Set<Modifier> modifiers = loginIdFromElement.getModifiers();
+            if (modifiers.contains(Modifier.PUBLIC) && modifiers.contains(Modifier.STATIC)) {
+                MethodSymbol method = (MethodSymbol) loginIdFromElement;
+                if (method.params != null && method.params.size() == 0 && "java.lang.String".equals(method.getReturnType().toString())) {
+                    return treeMaker.Exec(treeMaker.Apply(List.nil(), treeMaker.Select(accessMember(method.owner.toString()), method.name), List.nil())).expr;
                 } else {
-                    throw new UnqualifiedMethodException("@LoginIdFrom 只能用于 public static 类型的方法");
+                    throw new UnqualifiedMethodException("@LoginIdFrom 只能用于无入参且返回值为 java.lang.String 类型的方法");
                 }
+            } else {
+                throw new UnqualifiedMethodException("@LoginIdFrom 只能用于 public static 类型的方法");
             }
         }
-        return null;
     }
 
     /**
@@ -165,23 +369,23 @@ public class JavaSDKProcessor extends AbstractProcessor {
 
         JCVariableDecl varDef_thisMethod =
                 makeVarDef(
-                        "java.lang.reflect.Method",
-                        "thisMethod_SensorsAnalyticsSDK",
+                        methodChain,
+                        thisMethodVarName,
                         treeMaker.Exec(
                                 treeMaker.Apply(
                                         List.nil(),
-                                        accessMember(method.owner.toString() + ".class.getMethod"),
+                                        treeMaker.Select(treeMaker.Select(accessMember(method.owner.toString()), className), getMethodName),
                                         args.toList())).expr);
 
         // 生成第二行代码：InitSensorsAnalytics initSDKAnnotation_SensorsAnalyticsSDK = thisMethod_SensorsAnalyticsSDK.getAnnotation(InitSensorsAnalytics.class);
         JCVariableDecl varDef_initSDKAnnotation = makeVarDef(
-                InitSensorsAnalytics.class.getCanonicalName(),
-                "initSDKAnnotation_SensorsAnalyticsSDK",
+                initSDKChain,
+                initSDKAnnotationVarName,
                 treeMaker.Exec(
                         treeMaker.Apply(
                                 List.nil(),
-                                treeMaker.Select(treeMaker.Ident(varDef_thisMethod.name), names.fromString("getAnnotation")),
-                                List.of(accessMember(InitSensorsAnalytics.class.getCanonicalName() + ".class"))
+                                treeMaker.Select(treeMaker.Ident(varDef_thisMethod.name), getAnnotationName),
+                                List.of(treeMaker.Select(accessMember(initSDKChain), className))
                         )
                 ).expr);
 
@@ -189,7 +393,7 @@ public class JavaSDKProcessor extends AbstractProcessor {
         JCExpressionStatement expr_init = treeMaker.Exec(
                 treeMaker.Apply(
                         List.nil(),
-                        accessMember(SensorsAnalyticsAPI.class.getCanonicalName() + ".startWithAnnotation"),
+                        accessMember(startWithAnnotationChain),
                         List.of(treeMaker.Ident(varDef_initSDKAnnotation.name))
                 )
         );
@@ -218,13 +422,13 @@ public class JavaSDKProcessor extends AbstractProcessor {
     private List<JCStatement> processTrack(MethodSymbol method) {
         ListBuffer<JCStatement> processStatements = new ListBuffer<>();
         // 插入第一行代码 Map track_properties_SensorsAnalyticsSDK = new HashMap();
-        JCVariableDecl varPropertiesDef = makeVarDef("java.util.Map", "track_properties_SensorsAnalyticsSDK", buildNewHashMap());
+        JCVariableDecl varPropertiesDef = makeVarDef(mapChain, trackPropertiesVarName, buildNewHashMap());
         processStatements.append(varPropertiesDef);
 
         // 插入很多行 track_properties_SensorsAnalyticsSDK.put 的代码
         Track trackAnnotation = method.getAnnotation(Track.class);
         // 如果 includeParams 为 false 则不处理方法入参
-        processStatements.appendList(processProperties(trackAnnotation.includeParams()? method.params: List.nil(), trackAnnotation.properties(), varPropertiesDef));
+        processStatements.appendList(processProperties(method, trackAnnotation.includeParams()? method.params: List.nil(), trackAnnotation.properties(), varPropertiesDef));
 
         // 插入最后一行代码 SensorsAnalyticsAPI.sharedInstance.track(distinctId, isLoginId, eventName, track_properties_SensorsAnalyticsSDK);
         JCExpression distinctId = processDistinctId(trackAnnotation.distinctId());
@@ -234,7 +438,7 @@ public class JavaSDKProcessor extends AbstractProcessor {
         processStatements.append(treeMaker.Exec(
                 treeMaker.Apply(
                         List.nil(),
-                        treeMaker.Select(buildSharedInstance(), names.fromString("track")),
+                        treeMaker.Select(buildSharedInstance(), trackName),
                         List.of(distinctId, isLoginId, eventName, properties)
                 )
         ));
@@ -260,31 +464,31 @@ public class JavaSDKProcessor extends AbstractProcessor {
     private List<JCStatement> processProfile(MethodSymbol method) {
         ListBuffer<JCStatement> processStatements = new ListBuffer<>();
         // 插入第一行代码 Map profile_properties_SensorsAnalyticsSDK = new HashMap();
-        JCVariableDecl varPropertiesDef = makeVarDef("java.util.Map", "profile_properties_SensorsAnalyticsSDK", buildNewHashMap());
+        JCVariableDecl varPropertiesDef = makeVarDef(mapChain, profilePropertiesVarName, buildNewHashMap());
         processStatements.append(varPropertiesDef);
 
         // 插入很多行 profile_properties_SensorsAnalyticsSDK.put 的代码
         Profile profileAnnotation = method.getAnnotation(Profile.class);
         // 如果 includeParams 为 false 则不处理方法入参
-        processStatements.appendList(processProperties(profileAnnotation.includeParams()? method.params: List.nil(), profileAnnotation.properties(), varPropertiesDef));
+        processStatements.appendList(processProperties(method, profileAnnotation.includeParams()? method.params: List.nil(), profileAnnotation.properties(), varPropertiesDef));
 
         // 插入最后一行代码 SensorsAnalyticsAPI.sharedInstance.profile_*(distinctId, isLoginId, profile_properties_SensorsAnalyticsSDK);
         JCExpression distinctId = processDistinctId(profileAnnotation.distinctId());
         JCLiteral isLoginId = treeMaker.Literal(profileAnnotation.isLoginId());
         JCIdent properties = treeMaker.Ident(varPropertiesDef.name);
 
-        String profileMethodName = "";
+        Name profileMethodName = null;
         switch (profileAnnotation.type()) {
-            case SET: profileMethodName = "profileSet";break;
-            case SET_ONCE: profileMethodName = "profileSetOnce";break;
-            case APPEND: profileMethodName = "profileAppend";break;
-            case INCREMENT: profileMethodName = "profileIncrement";break;
+            case SET: profileMethodName = profileSetName;break;
+            case SET_ONCE: profileMethodName = profileSetOnceName;break;
+            case APPEND: profileMethodName = profileAppendName;break;
+            case INCREMENT: profileMethodName = profileIncrementName;break;
         }
 
         processStatements.append(treeMaker.Exec(
                 treeMaker.Apply(
                         List.nil(),
-                        treeMaker.Select(buildSharedInstance(), names.fromString(profileMethodName)),
+                        treeMaker.Select(buildSharedInstance(), profileMethodName),
                         List.of(distinctId,isLoginId,properties)
                 )
         ));
@@ -311,29 +515,29 @@ public class JavaSDKProcessor extends AbstractProcessor {
     private List<JCStatement> processItem(MethodSymbol method) {
         ListBuffer<JCStatement> processStatements = new ListBuffer<>();
         // 插入第一行代码 Map item_properties_SensorsAnalyticsSDK = new HashMap();
-        JCVariableDecl varPropertiesDef = makeVarDef("java.util.Map", "item_properties_SensorsAnalyticsSDK", buildNewHashMap());
+        JCVariableDecl varPropertiesDef = makeVarDef(mapChain, itemPropertiesVarName, buildNewHashMap());
         processStatements.append(varPropertiesDef);
 
         // 插入很多行 item_properties_SensorsAnalyticsSDK.put 的代码
         Item itemAnnotation = method.getAnnotation(Item.class);
         // 如果 includeParams 为 false 则不处理方法入参
-        processStatements.appendList(processProperties(itemAnnotation.includeParams()? method.params: List.nil(), itemAnnotation.properties(), varPropertiesDef));
+        processStatements.appendList(processProperties(method, itemAnnotation.includeParams()? method.params: List.nil(), itemAnnotation.properties(), varPropertiesDef));
 
         // 插入最后一行代码 SensorsAnalyticsAPI.sharedInstance.item_*(distinctId, isLoginId, profile_properties_SensorsAnalyticsSDK);
         JCExpression itemType = itemAnnotation.itemType().startsWith("@") ? parseExpr(itemAnnotation.itemType().substring(1)): treeMaker.Literal(itemAnnotation.itemType());
         JCExpression itemId = itemAnnotation.itemId().startsWith("@") ? parseExpr(itemAnnotation.itemId().substring(1)): treeMaker.Literal(itemAnnotation.itemId());
         JCIdent properties = treeMaker.Ident(varPropertiesDef.name);
 
-        String itemMethodName = "";
+        Name itemMethodName = null;
         switch (itemAnnotation.type()) {
-            case SET: itemMethodName = "itemSet";break;
-            case DELETE: itemMethodName = "itemDelete";break;
+            case SET: itemMethodName = itemSetName;break;
+            case DELETE: itemMethodName = itemDeleteName;break;
         }
 
         processStatements.append(treeMaker.Exec(
                 treeMaker.Apply(
                         List.nil(),
-                        treeMaker.Select(buildSharedInstance(), names.fromString(itemMethodName)),
+                        treeMaker.Select(buildSharedInstance(), itemMethodName),
                         List.of(itemType, itemId, properties)
                 )
         ));
@@ -363,7 +567,7 @@ public class JavaSDKProcessor extends AbstractProcessor {
         processStatements.append(treeMaker.Exec(
                 treeMaker.Apply(
                         List.nil(),
-                        treeMaker.Select(buildSharedInstance(), names.fromString("trackSignUp")),
+                        treeMaker.Select(buildSharedInstance(), trackSignUpName),
                         List.of(loginId, anonymousId)
                 )
         ));
@@ -398,19 +602,20 @@ public class JavaSDKProcessor extends AbstractProcessor {
      * 1. 原方法入参
      * 2. 原方法埋点注解的 Property 数组属性
      *
+     * @param method           注解修饰的方法
      * @param methodParams     原方法入参
      * @param properties       原方法埋点注解的 Property 数组
      * @param varPropertiesDef 给 properties 定义的临时变量
      * @return 返回 properties 生成所需的语句
      */
-    private List<JCStatement> processProperties(List<VarSymbol> methodParams, Property[] properties, JCVariableDecl varPropertiesDef) {
+    private List<JCStatement> processProperties(MethodSymbol method, List<VarSymbol> methodParams, Property[] properties, JCVariableDecl varPropertiesDef) {
         ListBuffer<JCStatement> processStatements = new ListBuffer<>();
         for (VarSymbol param : methodParams) {
             Property paramAnnotation = param.getAnnotation(Property.class);
             processStatements.append(treeMaker.Exec(
                     treeMaker.Apply(
                             List.nil(),
-                            treeMaker.Select(treeMaker.Ident(varPropertiesDef.name), names.fromString("put")),
+                            treeMaker.Select(treeMaker.Ident(varPropertiesDef.name), putName),
                             // 方法入参对应的 property key 有两种可能：1. 入参名；2. 修饰入参的 @Property 注解的 key 属性
                             List.of(treeMaker.Literal(paramAnnotation != null && !TextUtils.isBlank(paramAnnotation.key()) ? paramAnnotation.key() : param.name.toString()), treeMaker.Ident(param)))
             ));
@@ -422,7 +627,13 @@ public class JavaSDKProcessor extends AbstractProcessor {
             if (TextUtils.isBlank(propertyAnnotation.key()))
                 continue;
 
-            if (value.startsWith("@")) {
+            if (value.startsWith(LAZY_VALUE_PREFIX)) {
+                // value 当成需要延迟求值的引用表达式去解析，未开启延迟求值时与 @ 开头的引用表达式一样立即求值
+                valueExpr = parseExpr(value.substring(LAZY_VALUE_PREFIX.length()));
+                if (lazyProperties) {
+                    valueExpr = buildLazyValue(valueExpr, getLazyScope(method));
+                }
+            } else if (value.startsWith("@")) {
                 // value 当成引用表达式去解析
                 valueExpr = parseExpr(value.substring(1));
             } else if ("true".equals(value.toLowerCase()) || "false".equals(value.toLowerCase())) {
@@ -433,7 +644,7 @@ public class JavaSDKProcessor extends AbstractProcessor {
                     // value 当成数值去解析
                     // 这里先 new BigDecimal(value) 是为了在编译时就判断此字符串是否可以转化成数字
                     new BigDecimal(value);
-                    valueExpr = treeMaker.NewClass(null, List.nil(), accessMember("java.math.BigDecimal"), List.of(treeMaker.Literal(value)), null);
+                    valueExpr = treeMaker.NewClass(null, List.nil(), accessMember(bigDecimalChain), List.of(treeMaker.Literal(value)), null);
                 } catch (NumberFormatException e1) {
                     // value 当成普通字符串
                     valueExpr = treeMaker.Literal(value);
@@ -443,7 +654,7 @@ public class JavaSDKProcessor extends AbstractProcessor {
             processStatements.append(treeMaker.Exec(
                     treeMaker.Apply(
                             List.nil(),
-                            treeMaker.Select(treeMaker.Ident(varPropertiesDef.name), names.fromString("put")),
+                            treeMaker.Select(treeMaker.Ident(varPropertiesDef.name), putName),
                             List.of(treeMaker.Literal(propertyAnnotation.key()), valueExpr))
             ));
         }
@@ -481,6 +692,193 @@ public class JavaSDKProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * 将引用表达式包装成 SDK 的 LazyProperty，由 SDK 在真正序列化事件时才求值，事件被过滤或丢弃时不会求值
+     * <p>
+     * 生成的代码相当于：
+     * (LazyProperty) () -> {
+     *     try {
+     *         return 表达式;
+     *     } catch (Exception e_SensorsAnalyticsSDK) {
+     *         e_SensorsAnalyticsSDK.printStackTrace();
+     *         return null;
+     *     }
+     * }
+     *
+     * @param valueExpr 引用表达式
+     * @param scope     注解修饰方法的分析结果
+     * @return 包装后的 JCExpression；表达式不是只依赖入参的静态方法调用时，原样返回
+     */
+    private JCExpression buildLazyValue(JCExpression valueExpr, LazyScope scope) {
+        // 非方法调用的表达式求值开销很小，没有必要延迟
+        if (!(valueExpr instanceof JCMethodInvocation) || !isStaticCall((JCMethodInvocation) valueExpr, scope)) {
+            return valueExpr;
+        }
+        // 表达式在 SDK 序列化事件时执行，已不在插码外层的 try catch 中，因此单独捕获异常
+        JCBlock catchBlock = treeMaker.Block(0, List.of(
+                treeMaker.Exec(treeMaker.Apply(List.nil(), treeMaker.Select(treeMaker.Ident(lazyExceptionVarName), printStackTraceName), List.nil())),
+                treeMaker.Return(treeMaker.Literal(TypeTag.BOT, null))
+        ));
+        JCTry lazyTry = treeMaker.Try(
+                treeMaker.Block(0, List.of(treeMaker.Return(valueExpr))),
+                List.of(treeMaker.Catch(treeMaker.VarDef(treeMaker.Modifiers(0), lazyExceptionVarName, accessMember(exceptionChain), null), catchBlock)),
+                null);
+        return treeMaker.TypeCast(
+                accessMember(lazyPropertyChain),
+                treeMaker.Lambda(List.nil(), treeMaker.Block(0, List.of(lazyTry))));
+    }
+
+    /**
+     * 判断方法调用是否只调用静态方法，且参数只有未被重新赋值的入参或同样满足条件的方法调用
+     * 由于此时还没有做语义分析，调用者必须能通过导入语句等解析为类，且不能与入参、成员变量同名（变量会遮蔽同名的类）
+     *
+     * @param invocation 方法调用
+     * @param scope      注解修饰方法的分析结果
+     * @return 是否可以延迟求值
+     */
+    private boolean isStaticCall(JCMethodInvocation invocation, LazyScope scope) {
+        // 形如 getValue() 的调用隐式使用了 this
+        if (!(invocation.meth instanceof JCFieldAccess)) {
+            return false;
+        }
+        JCExpression root = ((JCFieldAccess) invocation.meth).selected;
+        while (root instanceof JCFieldAccess) {
+            root = ((JCFieldAccess) root).selected;
+        }
+        if (!(root instanceof JCIdent) || scope.instanceRoots.contains(((JCIdent) root).name)) {
+            return false;
+        }
+        // 形如 Holder.INSTANCE.compute() 或静态导入的 CURRENT.get() 调用的是对象的方法，调用者不是类
+        if (!isType(((JCFieldAccess) invocation.meth).selected.toString(), scope)) {
+            return false;
+        }
+        for (JCExpression arg : invocation.args) {
+            if (arg instanceof JCMethodInvocation) {
+                if (!isStaticCall((JCMethodInvocation) arg, scope)) {
+                    return false;
+                }
+            } else if (!(arg instanceof JCIdent) || !scope.capturableParams.contains(((JCIdent) arg).name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按照 Java 查找类名的顺序，判断链式表达式是否指向一个类
+     *
+     * @param selectExpr 链式表达式，例如 Utils 或 com.sensorsdata.Utils
+     * @param scope      注解修饰方法的分析结果
+     * @return 能找到对应的类时返回 true
+     */
+    private boolean isType(String selectExpr, LazyScope scope) {
+        int firstDot = selectExpr.indexOf('.');
+        String importedType = scope.importedTypes.get(firstDot < 0 ? selectExpr : selectExpr.substring(0, firstDot));
+        if (importedType != null) {
+            return processingEnv.getElementUtils().getTypeElement(firstDot < 0 ? importedType : importedType + selectExpr.substring(firstDot)) != null;
+        }
+        for (String typeScope : scope.typeScopes) {
+            if (processingEnv.getElementUtils().getTypeElement(typeScope.isEmpty() ? selectExpr : typeScope + "." + selectExpr) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取注解修饰方法的分析结果，只在第一次遇到 @lazy: 开头的属性值时分析，同一个方法只分析一次
+     *
+     * @param method 注解修饰的方法
+     * @return 注解修饰方法的分析结果
+     */
+    private LazyScope getLazyScope(MethodSymbol method) {
+        LazyScope scope = lazyScopes.get(method);
+        if (scope == null) {
+            scope = new LazyScope();
+            for (VarSymbol param : method.params) {
+                scope.instanceRoots.add(param.name);
+                scope.capturableParams.add(param.name);
+            }
+            scope.capturableParams.removeAll(findReassignedParams(method));
+            scope.instanceRoots.add(names._this);
+            scope.instanceRoots.add(names._super);
+            // 所在类以及外部类的成员变量
+            for (Element owner = method.owner; owner != null && (owner.getKind().isClass() || owner.getKind().isInterface()); owner = owner.getEnclosingElement()) {
+                scope.typeScopes.add(((TypeElement) owner).getQualifiedName().toString());
+                for (Element member : processingEnv.getElementUtils().getAllMembers((TypeElement) owner)) {
+                    if (member.getKind() == ElementKind.FIELD || member.getKind() == ElementKind.ENUM_CONSTANT) {
+                        scope.instanceRoots.add((Name) member.getSimpleName());
+                    }
+                }
+            }
+            // 所在包以及导入语句
+            scope.typeScopes.add(processingEnv.getElementUtils().getPackageOf(method).getQualifiedName().toString());
+            CompilationUnitTree compilationUnit = trees.getPath(method).getCompilationUnit();
+            for (ImportTree importTree : compilationUnit.getImports()) {
+                if (importTree.isStatic()) {
+                    continue;
+                }
+                String qualifiedName = importTree.getQualifiedIdentifier().toString();
+                if (qualifiedName.endsWith(".*")) {
+                    scope.typeScopes.add(qualifiedName.substring(0, qualifiedName.length() - 2));
+                } else {
+                    scope.importedTypes.put(qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1), qualifiedName);
+                }
+            }
+            scope.typeScopes.add("java.lang");
+            scope.typeScopes.add("");
+            lazyScopes.put(method, scope);
+        }
+        return scope;
+    }
+
+    /**
+     * 找出方法体中被重新赋值过的入参，这些入参不是 effectively final，不能在 lambda 中引用
+     *
+     * @param method 注解修饰的方法
+     * @return 被重新赋值过的入参名
+     */
+    private Set<Name> findReassignedParams(MethodSymbol method) {
+        final Set<Name> paramNames = new HashSet<>();
+        for (VarSymbol param : method.params) {
+            paramNames.add(param.name);
+        }
+        final Set<Name> reassignedParams = new HashSet<>();
+        JCMethodDecl tree = trees.getTree(method);
+        if (paramNames.isEmpty() || tree == null || tree.body == null) {
+            return reassignedParams;
+        }
+        new TreeScanner() {
+            @Override
+            public void visitAssign(JCAssign tree) {
+                markReassigned(tree.lhs);
+                super.visitAssign(tree);
+            }
+
+            @Override
+            public void visitAssignop(JCAssignOp tree) {
+                markReassigned(tree.lhs);
+                super.visitAssignop(tree);
+            }
+
+            @Override
+            public void visitUnary(JCUnary tree) {
+                switch (tree.getTag()) {
+                    case PREINC: case PREDEC: case POSTINC: case POSTDEC: markReassigned(tree.arg);break;
+                    default: break;
+                }
+                super.visitUnary(tree);
+            }
+
+            private void markReassigned(JCExpression lhs) {
+                if (lhs instanceof JCIdent && paramNames.contains(((JCIdent) lhs).name)) {
+                    reassignedParams.add(((JCIdent) lhs).name);
+                }
+            }
+        }.scan(tree.body);
+        return reassignedParams;
+    }
+
     /**
      * 生成 try catch 语句捕获异常
      * 注意：如果 body 没有内容可能导致此 try catch 被优化掉，也就是插码失败
@@ -497,7 +895,7 @@ public class JavaSDKProcessor extends AbstractProcessor {
                 treeMaker.Exec(
                         treeMaker.Apply(
                                 List.nil(),
-                                accessMember("e.printStackTrace"),
+                                treeMaker.Select(treeMaker.Ident(exceptionVarName), printStackTraceName),
                                 List.nil()
                         )
                 )
@@ -508,7 +906,7 @@ public class JavaSDKProcessor extends AbstractProcessor {
                 List.of(
                         treeMaker.Catch(
                                 treeMaker.VarDef(
-                                        treeMaker.Modifiers(0), names.fromString("e"), accessMember("java.lang.Exception"),
+                                        treeMaker.Modifiers(0), exceptionVarName, accessMember(exceptionChain),
                                         null),
                                 catchBlock)
                 ),
@@ -524,7 +922,7 @@ public class JavaSDKProcessor extends AbstractProcessor {
         return treeMaker.Exec(
                 treeMaker.Apply(
                         List.nil(),
-                        accessMember(SensorsAnalyticsAPI.class.getCanonicalName() + ".sharedInstance"),
+                        accessMember(sharedInstanceChain),
                         List.nil())).expr;
     }
 
@@ -539,7 +937,7 @@ public class JavaSDKProcessor extends AbstractProcessor {
         return treeMaker.NewClass(
                 null,
                 List.nil(),
-                accessMember("java.util.HashMap"),
+                accessMember(hashMapChain),
                 List.nil(),
                 null);
     }
@@ -553,7 +951,7 @@ public class JavaSDKProcessor extends AbstractProcessor {
         return treeMaker.Exec(
                 treeMaker.Apply(
                         List.nil(),
-                        treeMaker.Select(buildSharedInstance(),names.fromString("flush")),
+                        treeMaker.Select(buildSharedInstance(), flushName),
                         List.nil()));
     }
 
@@ -582,10 +980,10 @@ public class JavaSDKProcessor extends AbstractProcessor {
      * @param init 变量的初始化语句
      * @return 生成临时变量的语句
      */
-    private JCVariableDecl makeVarDef(String varType, String name, JCExpression init) {
+    private JCVariableDecl makeVarDef(Name[] varType, Name name, JCExpression init) {
         return treeMaker.VarDef(
                 treeMaker.Modifiers(0), // 局部变量没有 Modifiers
-                names.fromString(name), // 名字
+                name, // 名字
                 accessMember(varType), // 类型
                 init // 初始化语句
         );
@@ -600,54 +998,70 @@ public class JavaSDKProcessor extends AbstractProcessor {
      * @return 解析该链式表达式的 Expression
      */
     private JCExpression accessMember(String selectExpr) {
-        String[] selectExprArray = selectExpr.split("\\.");
-        JCExpression expr = treeMaker.Ident(names.fromString(selectExprArray[0]));
-        for (int i = 1; i < selectExprArray.length; i++) {
-            String selector = selectExprArray[i];
-            expr = treeMaker.Select(expr, names.fromString(selector));
+        return accessMember(internSelectChain(selectExpr));
+    }
+
+    /**
+     * 根据拆分好的 Name 数组生成链式调用
+     * 注意：语法树节点不能在多处共用，因此每次都生成新的节点，只复用 Name
+     * @param selectChain 拆分好的 Name 数组
+     * @return 该链式表达式的 Expression
+     */
+    private JCExpression accessMember(Name[] selectChain) {
+        JCExpression expr = treeMaker.Ident(selectChain[0]);
+        for (int i = 1; i < selectChain.length; i++) {
+            expr = treeMaker.Select(expr, selectChain[i]);
         }
         return expr;
     }
 
+    /**
+     * 将链式调用字符串拆分成 Name 数组，同一次编译中相同的字符串只拆分一次
+     * @param selectExpr 链式调用字符串，例如 java.util.HashMap
+     * @return 拆分后的 Name 数组
+     */
+    private Name[] internSelectChain(String selectExpr) {
+        Name[] selectChain = selectChains.get(selectExpr);
+        if (selectChain == null) {
+            String[] selectExprArray = selectExpr.split("\\.");
+            selectChain = new Name[selectExprArray.length];
+            for (int i = 0; i < selectExprArray.length; i++) {
+                selectChain[i] = names.fromString(selectExprArray[i]);
+            }
+            selectChains.put(selectExpr, selectChain);
+        }
+        return selectChain;
+    }
+
     /**
      * 获取到 Type 对应的 class 对象，例如 int.class
      * @param type 要获取 class 对象的 Type
      * @return class 对象对应的 JCExpression
      */
     private JCExpression accessClass(Type type) {
-        java.util.List<String> primitiveArray = new ArrayList<>();
-        primitiveArray.add("int[]");
-        primitiveArray.add("short[]");
-        primitiveArray.add("long[]");
-        primitiveArray.add("float[]");
-        primitiveArray.add("double[]");
-        primitiveArray.add("bool[]");
-        primitiveArray.add("char[]");
-        primitiveArray.add("byte[]");
-
         String components = type.toString();
         if (type.getTag() == TypeTag.ARRAY) {
             // 处理数组
             String componentsWithRidOfArray = components.substring(0, components.length() - 2);
-            if (primitiveArray.contains(components)) {
+            if (PRIMITIVE_ARRAYS.contains(components)) {
                 // 处理基本数据类型数组
                 // 没有方法判断数组是否是基本数据类型的数组，因此只能对比 type.toString 来判断
                 return treeMaker.Select(
                         treeMaker.TypeArray(treeMaker.TypeIdent(TypeTag.valueOf(componentsWithRidOfArray.toUpperCase()))),
-                        names.fromString("class"));
+                        className);
             } else {
                 // 处理引用数据类型的数组
                 return treeMaker.Select(
                         treeMaker.TypeArray(accessMember(componentsWithRidOfArray)),
-                        names.fromString("class")
+                        className
                 );
             }
         } else if (type.isPrimitive()) {
             // 处理基本数据类型
-            return treeMaker.Select(treeMaker.TypeIdent(type.getTag()), names.fromString("class"));
+            return treeMaker.Select(treeMaker.TypeIdent(type.getTag()), className);
         } else {
             // 处理引用数据类型
-            return accessMember(components + ".class");
+            return treeMaker.Select(accessMember(components), className);
         }
     }
 
@@ -656,6 +1070,13 @@ public class JavaSDKProcessor extends AbstractProcessor {
         return SourceVersion.RELEASE_8;
     }
 
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> optionSet = new HashSet<>();
+        optionSet.add(LAZY_PROPERTIES_OPTION);
+        return optionSet;
+    }
+
     @Override
     public Set<String> getSupportedAnnotationTypes() {
         Set<String> annotationSet = new HashSet<>();
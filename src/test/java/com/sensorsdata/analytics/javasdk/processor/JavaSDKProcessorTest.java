@@ -0,0 +1,247 @@
+package com.sensorsdata.analytics.javasdk.processor;
+
+import com.sensorsdata.analytics.javasdk.processor.exceptions.InvalidSizeException;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JavaSDKProcessorTest {
+
+    private static final String SDK = "SensorsAnalyticsAPI.java";
+    private static final String LAZY_PROPERTY = "LazyProperty.java";
+    private static final String HOLDER = "fixture/Holder.java";
+    private static final String LAZY_PROPERTY_FIXTURE = "LazyPropertyFixture.java";
+    private static final String DISPATCH_FIXTURE = "DispatchFixture.java";
+    private static final String DUPLICATE_INIT_FIXTURE = "DuplicateInitFixture.java";
+
+    private static final String SDK_CLASS = "com.sensorsdata.analytics.javasdk.SensorsAnalyticsAPI";
+    private static final String LAZY_PROPERTY_CLASS = "com.sensorsdata.analytics.javasdk.LazyProperty";
+    private static final List<String> LAZY_PROPERTIES_ON = Collections.singletonList("-Asensorsdata.lazyProperties=true");
+
+    @Test
+    public void annotationsOnNestedClassesAreProcessed() throws Exception {
+        File outputDir = Files.createTempDirectory("processor").toFile();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(diagnostics.getDiagnostics().toString(),
+                compile(outputDir, diagnostics, Collections.<String>emptyList(), SDK, DISPATCH_FIXTURE));
+
+        ClassLoader classLoader = new FixtureClassLoader(outputDir);
+        invoke(classLoader, "DispatchFixture$Nested", "track");
+        assertEquals("nested", lastCall(classLoader, "track").get(3));
+        invoke(classLoader, "DispatchFixture$Nested$Deeper", "track");
+        assertEquals("deeper", lastCall(classLoader, "track").get(3));
+    }
+
+    @Test
+    public void annotationsOnOneMethodFollowSourceOrder() throws Exception {
+        File outputDir = Files.createTempDirectory("processor").toFile();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(diagnostics.getDiagnostics().toString(),
+                compile(outputDir, diagnostics, Collections.<String>emptyList(), SDK, DISPATCH_FIXTURE));
+
+        ClassLoader classLoader = new FixtureClassLoader(outputDir);
+        List<List<Object>> calls = calls(classLoader);
+        invoke(classLoader, "DispatchFixture", "signUpFirst");
+        assertEquals(Arrays.asList("trackSignUp", "track"), Arrays.asList(calls.get(0).get(0), calls.get(1).get(0)));
+        calls.clear();
+        invoke(classLoader, "DispatchFixture", "trackFirst");
+        assertEquals(Arrays.asList("track", "trackSignUp"), Arrays.asList(calls.get(0).get(0), calls.get(1).get(0)));
+    }
+
+    @Test
+    public void loginIdFromIsFoundInTheSamePass() throws Exception {
+        File outputDir = Files.createTempDirectory("processor").toFile();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(diagnostics.getDiagnostics().toString(),
+                compile(outputDir, diagnostics, Collections.<String>emptyList(), SDK, DISPATCH_FIXTURE));
+
+        ClassLoader classLoader = new FixtureClassLoader(outputDir);
+        invoke(classLoader, "DispatchFixture", "trackWithLoginId");
+        List<Object> call = lastCall(classLoader, "track");
+        assertEquals("login_id", call.get(3));
+        assertEquals("login_user", call.get(1));
+    }
+
+    @Test
+    public void duplicateInitSensorsAnalyticsIsRejected() throws Exception {
+        File outputDir = Files.createTempDirectory("processor").toFile();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(compile(outputDir, diagnostics, Collections.<String>emptyList(), SDK, DUPLICATE_INIT_FIXTURE));
+        assertTrue(diagnostics.getDiagnostics().toString(), hasError(diagnostics, InvalidSizeException.class.getName()));
+    }
+
+    @Test
+    public void lazyPropertiesDisabledEvaluatesEagerly() throws Exception {
+        File outputDir = Files.createTempDirectory("processor").toFile();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(diagnostics.getDiagnostics().toString(),
+                compile(outputDir, diagnostics, Collections.<String>emptyList(), SDK, HOLDER, LAZY_PROPERTY_FIXTURE));
+
+        ClassLoader classLoader = new FixtureClassLoader(outputDir);
+        invoke(classLoader, "LazyPropertyFixture", "track", " value ", "reassigned");
+        // 未开启延迟求值时，@lazy: 开头的表达式与 @ 开头的表达式一样立即求值
+        Map<?, ?> properties = (Map<?, ?>) lastCall(classLoader, "track").get(4);
+        assertEquals("value", properties.get("static_call"));
+        assertEquals("holder: value ", properties.get("imported_static_call"));
+        assertEquals("value", properties.get("eager_call"));
+        assertEquals("reassigned", properties.get("reassigned_param"));
+        assertEquals("compute: value ", properties.get("singleton_call"));
+        assertEquals(new BigDecimal("1"), properties.get("number"));
+    }
+
+    @Test
+    public void lazyPropertiesRequireSdkSupport() throws Exception {
+        File outputDir = Files.createTempDirectory("processor").toFile();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(compile(outputDir, diagnostics, LAZY_PROPERTIES_ON, SDK, HOLDER, LAZY_PROPERTY_FIXTURE));
+        assertTrue(diagnostics.getDiagnostics().toString(), hasError(diagnostics, LAZY_PROPERTY_CLASS));
+    }
+
+    @Test
+    public void lazyPropertiesRequireJava8Source() throws Exception {
+        File outputDir = Files.createTempDirectory("processor").toFile();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<String> options = new ArrayList<>(LAZY_PROPERTIES_ON);
+        options.addAll(Arrays.asList("-source", "7", "-target", "7"));
+        assertFalse(compile(outputDir, diagnostics, options, SDK, LAZY_PROPERTY, HOLDER, LAZY_PROPERTY_FIXTURE));
+        assertTrue(diagnostics.getDiagnostics().toString(), hasError(diagnostics, "sensorsdata.lazyProperties"));
+    }
+
+    @Test
+    public void lazyPropertiesWrapStaticCallsOnly() throws Exception {
+        File outputDir = Files.createTempDirectory("processor").toFile();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        // 能编译通过说明生成的 lambda 可以通过类型检查，且被重新赋值的入参没有被 lambda 捕获
+        assertTrue(diagnostics.getDiagnostics().toString(),
+                compile(outputDir, diagnostics, LAZY_PROPERTIES_ON, SDK, LAZY_PROPERTY, HOLDER, LAZY_PROPERTY_FIXTURE));
+
+        ClassLoader classLoader = new FixtureClassLoader(outputDir);
+        Class<?> lazyPropertyType = classLoader.loadClass(LAZY_PROPERTY_CLASS);
+        invoke(classLoader, "LazyPropertyFixture", "track", " value ", "reassigned");
+        Map<?, ?> properties = (Map<?, ?>) lastCall(classLoader, "track").get(4);
+
+        // 只有调用者是类的静态方法调用被包装成 LazyProperty，由 SDK 序列化时求值
+        for (String key : Arrays.asList("static_call", "imported_static_call")) {
+            assertTrue(key, lazyPropertyType.isInstance(properties.get(key)));
+        }
+        assertEquals("value", lazyPropertyType.getMethod("get").invoke(properties.get("static_call")));
+        assertEquals("holder: value ", lazyPropertyType.getMethod("get").invoke(properties.get("imported_static_call")));
+
+        // 其余表达式仍然立即求值
+        for (String key : Arrays.asList("eager_call", "reassigned_param", "param_call", "field_call", "this_call",
+                "implicit_this_call", "singleton_call", "static_import_call", "number")) {
+            assertFalse(key, lazyPropertyType.isInstance(properties.get(key)));
+        }
+        assertEquals("value", properties.get("eager_call"));
+        assertEquals("reassigned", properties.get("reassigned_param"));
+        assertEquals("value", properties.get("param_call"));
+        assertEquals("status", properties.get("field_call"));
+        assertEquals("fixture", properties.get("this_call"));
+        assertEquals("fixture", properties.get("implicit_this_call"));
+        assertEquals("compute: value ", properties.get("singleton_call"));
+        assertNull(properties.get("static_import_call"));
+
+        // 表达式抛出的异常在 LazyProperty 内部被捕获，属性值按 null 处理
+        invoke(classLoader, "LazyPropertyFixture", "trackFailing", "failure");
+        Object failing = ((Map<?, ?>) lastCall(classLoader, "track").get(4)).get("failing_call");
+        assertTrue(lazyPropertyType.isInstance(failing));
+        assertNull(lazyPropertyType.getMethod("get").invoke(failing));
+    }
+
+    private boolean compile(File outputDir, DiagnosticCollector<JavaFileObject> diagnostics, List<String> extraOptions, String... fixtures) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        List<File> sources = new ArrayList<>();
+        for (String fixture : fixtures) {
+            sources.add(new File(getClass().getResource("/fixtures/" + fixture).toURI()));
+        }
+        List<String> options = new ArrayList<>(Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", outputDir.getAbsolutePath()));
+        options.addAll(extraOptions);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                fileManager.getJavaFileObjectsFromFiles(sources));
+        task.setProcessors(Collections.singletonList(new JavaSDKProcessor()));
+        boolean success = task.call();
+        fileManager.close();
+        return success;
+    }
+
+    private boolean hasError(DiagnosticCollector<JavaFileObject> diagnostics, String message) {
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getMessage(null).contains(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void invoke(ClassLoader classLoader, String className, String methodName, Object... args) throws Exception {
+        Class<?> clazz = classLoader.loadClass(className);
+        Class<?>[] parameterTypes = new Class<?>[args.length];
+        Arrays.fill(parameterTypes, String.class);
+        clazz.getMethod(methodName, parameterTypes).invoke(clazz.getConstructor().newInstance(), args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object>> calls(ClassLoader classLoader) throws Exception {
+        return (List<List<Object>>) classLoader.loadClass(SDK_CLASS).getField("CALLS").get(null);
+    }
+
+    private List<Object> lastCall(ClassLoader classLoader, String sdkMethod) throws Exception {
+        List<List<Object>> calls = calls(classLoader);
+        for (int i = calls.size() - 1; i >= 0; i--) {
+            if (sdkMethod.equals(calls.get(i).get(0))) {
+                return calls.get(i);
+            }
+        }
+        throw new AssertionError("没有调用 " + sdkMethod + "：" + calls);
+    }
+
+    /**
+     * 优先从编译输出目录加载类，保证插入的代码调用的是 fixture 中模拟的 SDK
+     */
+    private static class FixtureClassLoader extends URLClassLoader {
+        FixtureClassLoader(File outputDir) throws Exception {
+            super(new URL[]{outputDir.toURI().toURL()}, JavaSDKProcessorTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    try {
+                        clazz = findClass(name);
+                    } catch (ClassNotFoundException e) {
+                        return super.loadClass(name, resolve);
+                    }
+                }
+                if (resolve) {
+                    resolveClass(clazz);
+                }
+                return clazz;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+import com.sensorsdata.analytics.javasdk.annotation.LoginIdFrom;
+import com.sensorsdata.analytics.javasdk.annotation.Track;
+import com.sensorsdata.analytics.javasdk.annotation.TrackSignUp;
+
+public class DispatchFixture {
+
+    // 与其它埋点注解在同一次遍历中被找到
+    @LoginIdFrom
+    public static String loginId() {
+        return "login_user";
+    }
+
+    // 同一个方法上的多个注解按照源码中的顺序生成代码
+    @TrackSignUp(loginId = "sign_up_user", anonymousId = "anonymous")
+    @Track(eventName = "sign_up_first", distinctId = "track_user")
+    public void signUpFirst() {
+    }
+
+    @Track(eventName = "track_first", distinctId = "track_user")
+    @TrackSignUp(loginId = "sign_up_user", anonymousId = "anonymous")
+    public void trackFirst() {
+    }
+
+    // 未指定 distinctId 时使用 @LoginIdFrom 修饰方法的返回值
+    @Track(eventName = "login_id", includeParams = false)
+    public void trackWithLoginId() {
+    }
+
+    public static class Nested {
+        @Track(eventName = "nested", distinctId = "track_user")
+        public void track() {
+        }
+
+        public static class Deeper {
+            @Track(eventName = "deeper", distinctId = "track_user")
+            public void track() {
+            }
+        }
+    }
+}
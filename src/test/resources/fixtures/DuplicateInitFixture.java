@@ -0,0 +1,14 @@
+import com.sensorsdata.analytics.javasdk.annotation.InitSensorsAnalytics;
+
+public class DuplicateInitFixture {
+
+    @InitSensorsAnalytics
+    public static void init() {
+    }
+
+    public static class Nested {
+        @InitSensorsAnalytics
+        public static void init() {
+        }
+    }
+}
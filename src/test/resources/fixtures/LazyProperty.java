@@ -0,0 +1,6 @@
+package com.sensorsdata.analytics.javasdk;
+
+// 模拟支持延迟求值属性的 SDK 所提供的函数式接口
+public interface LazyProperty {
+    Object get();
+}
@@ -0,0 +1,45 @@
+import com.sensorsdata.analytics.javasdk.annotation.Property;
+import com.sensorsdata.analytics.javasdk.annotation.Track;
+import fixture.Holder;
+
+import static fixture.Holder.CURRENT;
+
+public class LazyPropertyFixture {
+    private String status = "status";
+
+    @Track(eventName = "fixture", distinctId = "fixture_user", includeParams = false, properties = {
+            // 以 @lazy: 开头、只依赖未被重新赋值入参的静态方法调用，开启延迟求值后会被包装成 LazyProperty
+            @Property(key = "static_call", value = "@lazy:LazyPropertyFixture.describe(name)"),
+            @Property(key = "imported_static_call", value = "@lazy:Holder.describe(name)"),
+            // 以下表达式始终立即求值
+            @Property(key = "eager_call", value = "@LazyPropertyFixture.describe(name)"),
+            @Property(key = "reassigned_param", value = "@lazy:LazyPropertyFixture.describe(reassigned)"),
+            @Property(key = "param_call", value = "@lazy:name.trim()"),
+            @Property(key = "field_call", value = "@lazy:status.trim()"),
+            @Property(key = "this_call", value = "@lazy:this.toString()"),
+            @Property(key = "implicit_this_call", value = "@lazy:toString()"),
+            @Property(key = "singleton_call", value = "@lazy:Holder.INSTANCE.compute(name)"),
+            @Property(key = "static_import_call", value = "@lazy:CURRENT.get()"),
+            @Property(key = "number", value = "1")})
+    public void track(String name, String reassigned) {
+        reassigned = reassigned + "!";
+    }
+
+    @Track(eventName = "failing", distinctId = "fixture_user", includeParams = false, properties = {
+            @Property(key = "failing_call", value = "@lazy:LazyPropertyFixture.fail(name)")})
+    public void trackFailing(String name) {
+    }
+
+    @Override
+    public String toString() {
+        return "fixture";
+    }
+
+    public static String describe(String value) {
+        return value.trim();
+    }
+
+    public static String fail(String value) {
+        throw new IllegalStateException(value);
+    }
+}
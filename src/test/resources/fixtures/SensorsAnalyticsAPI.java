@@ -0,0 +1,63 @@
+package com.sensorsdata.analytics.javasdk;
+
+import com.sensorsdata.analytics.javasdk.annotation.InitSensorsAnalytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// 模拟 SDK，按顺序记录插入代码对 SDK 的调用，每条记录的第一个元素为方法名，其后为调用参数
+public class SensorsAnalyticsAPI {
+    public static final List<List<Object>> CALLS = new ArrayList<>();
+
+    private static final SensorsAnalyticsAPI INSTANCE = new SensorsAnalyticsAPI();
+
+    public static SensorsAnalyticsAPI sharedInstance() {
+        return INSTANCE;
+    }
+
+    public static void startWithAnnotation(InitSensorsAnalytics annotation) {
+        record("startWithAnnotation", annotation);
+    }
+
+    public void track(String distinctId, boolean isLoginId, String eventName, Map properties) {
+        record("track", distinctId, isLoginId, eventName, properties);
+    }
+
+    public void profileSet(String distinctId, boolean isLoginId, Map properties) {
+        record("profileSet", distinctId, isLoginId, properties);
+    }
+
+    public void profileSetOnce(String distinctId, boolean isLoginId, Map properties) {
+        record("profileSetOnce", distinctId, isLoginId, properties);
+    }
+
+    public void profileAppend(String distinctId, boolean isLoginId, Map properties) {
+        record("profileAppend", distinctId, isLoginId, properties);
+    }
+
+    public void profileIncrement(String distinctId, boolean isLoginId, Map properties) {
+        record("profileIncrement", distinctId, isLoginId, properties);
+    }
+
+    public void itemSet(String itemType, String itemId, Map properties) {
+        record("itemSet", itemType, itemId, properties);
+    }
+
+    public void itemDelete(String itemType, String itemId, Map properties) {
+        record("itemDelete", itemType, itemId, properties);
+    }
+
+    public void trackSignUp(String loginId, String anonymousId) {
+        record("trackSignUp", loginId, anonymousId);
+    }
+
+    public void flush() {
+        record("flush");
+    }
+
+    private static void record(Object... call) {
+        CALLS.add(Arrays.asList(call));
+    }
+}
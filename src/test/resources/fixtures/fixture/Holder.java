@@ -0,0 +1,14 @@
+package fixture;
+
+public class Holder {
+    public static final Holder INSTANCE = new Holder();
+    public static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    public String compute(String value) {
+        return "compute:" + value;
+    }
+
+    public static String describe(String value) {
+        return "holder:" + value;
+    }
+}